@@ -1,5 +1,10 @@
 package divide_and_conquer;
 
+import instrumentation.Counter;
+import instrumentation.Metrics;
+import instrumentation.Recorder;
+import instrumentation.SolverStats;
+
 import java.util.Arrays;
 
 public class CountSmallerDivideConquer {
@@ -12,24 +17,32 @@ public class CountSmallerDivideConquer {
     }
 
     public static int[] countSmaller(int[] nums) {
-        int n = nums.length;
-        int[] result = new int[n];
-        Pair[] pairs = new Pair[n];
-        for (int i = 0; i < n; i++) pairs[i] = new Pair(nums[i], i);
-        Pair[] aux = new Pair[n];
-        sortCount(pairs, aux, 0, n - 1, result);
-        return result;
+        Recorder rec = Metrics.start("countSmaller", 2);
+        try {
+            if (rec != null) rec.phase("init");
+            int n = nums.length;
+            int[] result = new int[n];
+            Pair[] pairs = new Pair[n];
+            for (int i = 0; i < n; i++) pairs[i] = new Pair(nums[i], i);
+            Pair[] aux = new Pair[n];
+            if (rec != null) rec.phase("sort");
+            sortCount(pairs, aux, 0, n - 1, result, rec);
+            return result;
+        } finally {
+            if (rec != null) rec.finish();
+        }
     }
 
-    private static void sortCount(Pair[] pairs, Pair[] aux, int l, int r, int[] result) {
+    // rec puede ser null (instrumentación apagada)
+    private static void sortCount(Pair[] pairs, Pair[] aux, int l, int r, int[] result, Recorder rec) {
         if (l >= r) return;
         int mid = l + (r - l) / 2;
-        sortCount(pairs, aux, l, mid, result);
-        sortCount(pairs, aux, mid + 1, r, result);
-        merge(pairs, aux, l, mid, r, result);
+        sortCount(pairs, aux, l, mid, result, rec);
+        sortCount(pairs, aux, mid + 1, r, result, rec);
+        merge(pairs, aux, l, mid, r, result, rec);
     }
 
-    private static void merge(Pair[] pairs, Pair[] aux, int l, int mid, int r, int[] result) {
+    private static void merge(Pair[] pairs, Pair[] aux, int l, int mid, int r, int[] result, Recorder rec) {
         for (int i = l; i <= r; i++) aux[i] = pairs[i];
         int i = l, j = mid + 1, k = l;
         int rightCountTaken = 0; // número de elementos del lado derecho ya colocados en pairs
@@ -45,6 +58,9 @@ public class CountSmallerDivideConquer {
                 pairs[k++] = aux[i++];
             }
         }
+        // cada iteración del bucle anterior hizo una comparación y consumió un elemento
+        if (rec != null) rec.add(Counter.MERGE_COMPARISONS, (i - l) + (j - mid - 1));
+
         // si quedan elementos en la izquierda, cada uno debe acumular rightCountTaken
         while (i <= mid) {
             result[aux[i].idx] += rightCountTaken;
@@ -62,5 +78,10 @@ public class CountSmallerDivideConquer {
         int[] res = countSmaller(nums);
         System.out.println("Array: " + Arrays.toString(nums));
         System.out.println("Smaller elements count to right: " + Arrays.toString(res));
+
+        // verificación de métricas: los cuatro merge hacen 1 + 2 + 1 + 3 comparaciones
+        SolverStats stats = Metrics.capture(() -> countSmaller(nums));
+        stats.expect(Counter.MERGE_COMPARISONS, 7);
+        System.out.println("Métricas: " + stats);
     }
 }
@@ -1,5 +1,10 @@
 package dynamic_programming;
 
+import instrumentation.Counter;
+import instrumentation.Metrics;
+import instrumentation.Recorder;
+import instrumentation.SolverStats;
+
 import java.util.*;
 
 /**
@@ -76,36 +81,45 @@ public class Knapsack01 {
 
     // ---------- T A B U L A C I Ó N (Bottom-Up) ----------
     public static Result knapsackTab(int[] values, int[] weights, int capacity) {
-        int n = values.length;
-        int[][] dp = new int[n + 1][capacity + 1];
-
-        // dp[0][*] = 0 por defecto
-        for (int i = 1; i <= n; i++) {
-            for (int c = 1; c <= capacity; c++) {
-                int without = dp[i - 1][c];
-                int with = Integer.MIN_VALUE;
-                if (weights[i - 1] <= c) {
-                    with = values[i - 1] + dp[i - 1][c - weights[i - 1]];
+        Recorder rec = Metrics.start("knapsackTab", 2);
+        try {
+            if (rec != null) rec.phase("fill");
+            int n = values.length;
+            int[][] dp = new int[n + 1][capacity + 1];
+
+            // dp[0][*] = 0 por defecto
+            for (int i = 1; i <= n; i++) {
+                for (int c = 1; c <= capacity; c++) {
+                    int without = dp[i - 1][c];
+                    int with = Integer.MIN_VALUE;
+                    if (weights[i - 1] <= c) {
+                        with = values[i - 1] + dp[i - 1][c - weights[i - 1]];
+                    }
+                    dp[i][c] = Math.max(without, with);
                 }
-                dp[i][c] = Math.max(without, with);
             }
-        }
 
-        int best = dp[n][capacity];
-
-        // Reconstrucción: retroceder en la tabla dp
-        List<Integer> taken = new ArrayList<>();
-        int c = capacity;
-        for (int i = n; i >= 1; i--) {
-            if (dp[i][c] != dp[i - 1][c]) {
-                // se tomó el objeto i-1
-                taken.add(i - 1);
-                c -= weights[i - 1];
+            int best = dp[n][capacity];
+            // el doble for calcula exactamente n * capacity celdas; se suma una sola vez fuera del bucle
+            if (rec != null) rec.add(Counter.DP_CELLS, (long) n * Math.max(capacity, 0));
+
+            // Reconstrucción: retroceder en la tabla dp
+            if (rec != null) rec.phase("reconstruct");
+            List<Integer> taken = new ArrayList<>();
+            int c = capacity;
+            for (int i = n; i >= 1; i--) {
+                if (dp[i][c] != dp[i - 1][c]) {
+                    // se tomó el objeto i-1
+                    taken.add(i - 1);
+                    c -= weights[i - 1];
+                }
+                // else no se tomó
             }
-            // else no se tomó
+            Collections.reverse(taken); // para mostrar en orden ascendente de índices
+            return new Result(best, taken);
+        } finally {
+            if (rec != null) rec.finish();
         }
-        Collections.reverse(taken); // para mostrar en orden ascendente de índices
-        return new Result(best, taken);
     }
 
     // Método utilitario para imprimir la tabla DP (para prueba de escritorio)
@@ -162,5 +176,11 @@ public class Knapsack01 {
         System.out.println();
         System.out.println("Prueba de escritorio (tabla DP usada en tabulación):");
         printDpTable(values, weights, capacity);
+
+        // verificación de métricas: la tabulación llena n * capacidad = 5 * 8 celdas
+        System.out.println();
+        SolverStats stats = Metrics.capture(() -> knapsackTab(values, weights, capacity));
+        stats.expect(Counter.DP_CELLS, 40);
+        System.out.println("Métricas: " + stats);
     }
 }
@@ -1,5 +1,10 @@
 package dynamic_programming;
 
+import instrumentation.Counter;
+import instrumentation.Metrics;
+import instrumentation.Recorder;
+import instrumentation.SolverStats;
+
 import java.util.Arrays;
 
 public class MinPathGrid {
@@ -16,51 +21,60 @@ public class MinPathGrid {
         if (grid == null || grid.length == 0 || grid[0].length == 0) {
             throw new IllegalArgumentException("Matriz vacía o nula.");
         }
-        int m = grid.length;
-        int n = grid[0].length;
-
-        // dp[j] = costo mínimo para llegar a la celda (i, j) en la fila actual i
-        int[] dp = new int[n];
+        Recorder rec = Metrics.start("minPathSum", 1);
+        try {
+            if (rec != null) rec.phase("fill");
+            int m = grid.length;
+            int n = grid[0].length;
 
-        // inicializar primera celda
-        dp[0] = grid[0][0];
+            // dp[j] = costo mínimo para llegar a la celda (i, j) en la fila actual i
+            int[] dp = new int[n];
 
-        // inicializar primera fila (solo se puede venir desde la izquierda)
-        for (int j = 1; j < n; j++) {
-            dp[j] = dp[j - 1] + grid[0][j];
-        }
-
-        if (debug) {
-            System.out.println("Inicial - fila 0 -> dp = " + Arrays.toString(dp));
-        }
+            // inicializar primera celda
+            dp[0] = grid[0][0];
 
-        // procesar filas 1..m-1
-        for (int i = 1; i < m; i++) {
-            // la primera columna solo puede venir desde arriba (dp[0] ya tiene costo de arriba)
-            dp[0] = dp[0] + grid[i][0];
+            // inicializar primera fila (solo se puede venir desde la izquierda)
+            for (int j = 1; j < n; j++) {
+                dp[j] = dp[j - 1] + grid[0][j];
+            }
 
             if (debug) {
-                System.out.printf("Antes fila %d, dp = %s (dp[0] actualizada)= dp[0]=%d%n", i, Arrays.toString(dp), dp[0]);
+                System.out.println("Inicial - fila 0 -> dp = " + Arrays.toString(dp));
             }
 
-            // actualizar resto columnas de izquierda a derecha
-            for (int j = 1; j < n; j++) {
-                // dp[j] es el costo desde arriba (anterior fila), dp[j-1] es desde la izquierda (misma fila, ya actualizado)
-                dp[j] = grid[i][j] + Math.min(dp[j], dp[j - 1]);
+            // procesar filas 1..m-1
+            for (int i = 1; i < m; i++) {
+                // la primera columna solo puede venir desde arriba (dp[0] ya tiene costo de arriba)
+                dp[0] = dp[0] + grid[i][0];
+
                 if (debug) {
-                    System.out.printf("  fila %d, col %d: cell=%d, min( arriba=%d, izq=%d ) -> dp[%d]=%d%n",
-                            i, j, grid[i][j], /* arriba */ (dp[j] - grid[i][j] == dp[j-1]? dp[j-1] : dp[j] /*not used*/), dp[j-1], j, dp[j]);
-                    // Nota: la impresión anterior simplifica la explicación; ver tabla formal abajo.
+                    System.out.printf("Antes fila %d, dp = %s (dp[0] actualizada)= dp[0]=%d%n", i, Arrays.toString(dp), dp[0]);
                 }
-            }
 
-            if (debug) {
-                System.out.println("Después fila " + i + " -> dp = " + Arrays.toString(dp));
+                // actualizar resto columnas de izquierda a derecha
+                for (int j = 1; j < n; j++) {
+                    // dp[j] es el costo desde arriba (anterior fila), dp[j-1] es desde la izquierda (misma fila, ya actualizado)
+                    dp[j] = grid[i][j] + Math.min(dp[j], dp[j - 1]);
+                    if (debug) {
+                        System.out.printf("  fila %d, col %d: cell=%d, min( arriba=%d, izq=%d ) -> dp[%d]=%d%n",
+                                i, j, grid[i][j], /* arriba */ (dp[j] - grid[i][j] == dp[j-1]? dp[j-1] : dp[j] /*not used*/), dp[j-1], j, dp[j]);
+                        // Nota: la impresión anterior simplifica la explicación; ver tabla formal abajo.
+                    }
+                }
+
+                if (debug) {
+                    System.out.println("Después fila " + i + " -> dp = " + Arrays.toString(dp));
+                }
             }
-        }
 
-        // dp[n-1] es el mínimo costo para llegar a (m-1, n-1)
-        return dp[n - 1];
+            // cada celda (i, j) de la matriz se calcula una sola vez: m * n celdas
+            if (rec != null) rec.add(Counter.DP_CELLS, (long) m * n);
+
+            // dp[n-1] es el mínimo costo para llegar a (m-1, n-1)
+            return dp[n - 1];
+        } finally {
+            if (rec != null) rec.finish();
+        }
     }
 
     // Programa principal con el ejemplo y debug activado
@@ -78,5 +92,10 @@ public class MinPathGrid {
         int result = minPathSum(grid, true);
         System.out.println();
         System.out.println("Resultado final: costo mínimo = " + result);
+
+        // verificación de métricas: se calcula cada una de las 3 x 3 celdas
+        SolverStats stats = Metrics.capture(() -> minPathSum(grid, false));
+        stats.expect(Counter.DP_CELLS, 9);
+        System.out.println("Métricas: " + stats);
     }
 }
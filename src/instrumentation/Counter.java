@@ -0,0 +1,16 @@
+package instrumentation;
+
+/**
+ * Contadores de operaciones que pueden reportar los algoritmos instrumentados.
+ * Cada algoritmo solo incrementa los que le aplican; el resto queda en 0.
+ */
+public enum Counter {
+    DP_CELLS,           // celdas de la tabla DP (knapsackTab, minPathSum); se calcula al final a partir
+                        // del tamaño de la tabla, así que si la llamada falla a medio llenado queda en 0
+    PQ_PUSHES,          // inserciones en la cola de prioridad (prim)
+    PQ_POLLS,           // extracciones de la cola de prioridad (prim)
+    PQ_STALE_SKIPS,     // extracciones descartadas porque el vértice ya estaba visitado (prim)
+    UF_FINDS,           // llamadas a find de union-find (kruskal)
+    UF_PATH_LENGTH,     // saltos recorridos por find antes de llegar a la raíz (kruskal)
+    MERGE_COMPARISONS   // comparaciones hechas en los merge (countSmaller)
+}
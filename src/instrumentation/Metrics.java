@@ -0,0 +1,72 @@
+package instrumentation;
+
+/**
+ * Punto de entrada de la instrumentación. Está desactivada por defecto: en ese caso
+ * {@link #start(String, int)} devuelve null y los algoritmos solo pagan una comparación con null.
+ *
+ * Se activa con {@code -Dmetrics.enabled=true} o llamando a {@link #setEnabled(boolean)}.
+ */
+public final class Metrics {
+
+    private static volatile boolean enabled = Boolean.getBoolean("metrics.enabled");
+    private static volatile MetricsSink sink;
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    // null desactiva el sink; los eventos JFR se siguen emitiendo si la grabación los tiene activos
+    public static synchronized void setSink(MetricsSink value) {
+        sink = value;
+    }
+
+    // devuelve un recorder para una llamada del algoritmo, o null si la instrumentación está apagada;
+    // phases es el número de fases que el algoritmo va a abrir con Recorder.phase
+    public static Recorder start(String solver, int phases) {
+        if (!enabled) return null;
+        return new Recorder(solver, phases);
+    }
+
+    /**
+     * Ejecuta call con la instrumentación activa y un sink temporal, y devuelve las métricas
+     * de la última llamada instrumentada que haga (null si no hizo ninguna). Al terminar
+     * restaura el estado y el sink anteriores. Pensado para verificaciones y demos.
+     */
+    public static synchronized SolverStats capture(Runnable call) {
+        boolean previousEnabled = enabled;
+        MetricsSink previousSink = sink;
+        SolverStats[] last = new SolverStats[1];
+        enabled = true;
+        sink = stats -> last[0] = stats;
+        try {
+            call.run();
+        } finally {
+            enabled = previousEnabled;
+            sink = previousSink;
+        }
+        return last[0];
+    }
+
+    static void publish(SolverStats stats) {
+        MetricsSink s = sink;
+        if (s == null) return;
+        try {
+            s.record(stats);
+        } catch (RuntimeException e) {
+            // un sink defectuoso no puede romper el algoritmo: el resultado ya está calculado.
+            // Se desregistra y se avisa una sola vez para no inundar stderr en bucles calientes.
+            synchronized (Metrics.class) {
+                if (sink != s) return;
+                sink = null;
+            }
+            System.err.println("MetricsSink desregistrado tras fallar en " + stats.solver() + ": " + e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package instrumentation;
+
+/**
+ * Verificación ejecutable del comportamiento de la instrumentación que no depende de ningún
+ * algoritmo: camino desactivado, aislamiento del sink, límite de fases y finish idempotente.
+ * Lanza IllegalStateException en el primer fallo.
+ */
+public class MetricsCheck {
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new IllegalStateException(message);
+    }
+
+    public static void main(String[] args) {
+        // desactivada: start devuelve null
+        Metrics.setEnabled(false);
+        check(Metrics.start("x", 1) == null, "start debe devolver null con la instrumentación apagada");
+
+        // más fases de las declaradas: no lanza y el tiempo extra cae en la última fase abierta
+        SolverStats overflow = Metrics.capture(() -> {
+            Recorder rec = Metrics.start("overflow", 2);
+            for (int i = 0; i < 9; i++) rec.phase("p" + i);
+            rec.finish();
+        });
+        check(overflow.phases().keySet().equals(java.util.Set.of("p0", "p1")),
+                "solo deben quedar las 2 fases declaradas: " + overflow.phases());
+
+        // finish idempotente: una segunda llamada no vuelve a publicar
+        int[] published = new int[1];
+        Metrics.setEnabled(true);
+        Metrics.setSink(stats -> published[0]++);
+        Recorder rec = Metrics.start("twice", 1);
+        rec.increment(Counter.DP_CELLS);
+        rec.finish();
+        rec.finish();
+        check(published[0] == 1, "finish publicó " + published[0] + " veces");
+
+        // un sink que lanza no llega al llamador y queda desregistrado tras el primer fallo
+        int[] calls = new int[1];
+        Metrics.setSink(stats -> {
+            calls[0]++;
+            throw new IllegalStateException("sink roto");
+        });
+        for (int i = 0; i < 3; i++) Metrics.start("broken", 1).finish();
+        check(calls[0] == 1, "el sink roto recibió " + calls[0] + " llamadas");
+
+        Metrics.setSink(null);
+        Metrics.setEnabled(false);
+        System.out.println("MetricsCheck: OK");
+    }
+}
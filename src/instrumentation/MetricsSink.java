@@ -0,0 +1,14 @@
+package instrumentation;
+
+/**
+ * Destino de las métricas de cada ejecución. Se registra con {@link Metrics#setSink(MetricsSink)}
+ * y recibe un {@link SolverStats} de solo lectura por cada llamada instrumentada.
+ *
+ * Si lanza una excepción, esta no llega al algoritmo: el sink se desregistra, se escribe un
+ * único aviso en stderr y las llamadas siguientes ya no le publican nada.
+ */
+@FunctionalInterface
+public interface MetricsSink {
+
+    void record(SolverStats stats);
+}
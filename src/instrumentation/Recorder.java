@@ -0,0 +1,143 @@
+package instrumentation;
+
+import jdk.jfr.EventType;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Métricas de una sola llamada a un algoritmo: contadores de operaciones, tiempo por fase
+ * en nanosegundos y bytes asignados por el hilo durante la llamada.
+ *
+ * Uso típico dentro de un algoritmo:
+ * <pre>
+ *   Recorder rec = Metrics.start("kruskal", 2);
+ *   try {
+ *       if (rec != null) rec.phase("sort");
+ *       ...
+ *   } finally {
+ *       if (rec != null) rec.finish();
+ *   }
+ * </pre>
+ * Todo lo que usa el recorder se reserva en el constructor, antes de abrir la ventana de
+ * memoria, para que {@link #phase(String)} no asigne nada y no ensucie la medición. Los eventos
+ * JFR solo se crean si hay una grabación que los tenga activos.
+ *
+ * Se reservan tantas fases como declara el algoritmo; si se abren más, se ignoran y su tiempo
+ * se acumula en la última fase abierta.
+ * No es thread-safe: cada llamada crea y usa su propio recorder.
+ */
+public final class Recorder {
+
+    private static final int COUNTERS = Counter.values().length;
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final EventType SOLVER_EVENT = EventType.getEventType(SolverEvent.class);
+    private static final EventType PHASE_EVENT = EventType.getEventType(SolverPhaseEvent.class);
+
+    private final String solver;
+    private final long[] counters = new long[COUNTERS];
+    private final String[] phaseNames;
+    private final long[] phaseNanos;
+    private final SolverPhaseEvent[] phaseEvents; // null si el evento de fase no está activo en JFR
+    private final SolverEvent event;              // null si el evento no está activo en JFR
+    private final long startNanos;
+    private final long startBytes;
+
+    private int phaseCount;
+    private boolean phaseOpen;
+    private long phaseStart;
+    private boolean finished;
+
+    Recorder(String solver, int maxPhases) {
+        this.solver = solver;
+        int capacity = Math.max(maxPhases, 1);
+        phaseNames = new String[capacity];
+        phaseNanos = new long[capacity];
+        if (PHASE_EVENT.isEnabled()) {
+            phaseEvents = new SolverPhaseEvent[capacity];
+            for (int i = 0; i < capacity; i++) phaseEvents[i] = new SolverPhaseEvent();
+        } else {
+            phaseEvents = null;
+        }
+        event = SOLVER_EVENT.isEnabled() ? new SolverEvent() : null;
+        if (event != null) event.begin();
+        startBytes = threadAllocatedBytes();
+        startNanos = System.nanoTime();
+    }
+
+    public void increment(Counter counter) {
+        counters[counter.ordinal()]++;
+    }
+
+    public void add(Counter counter, long delta) {
+        counters[counter.ordinal()] += delta;
+    }
+
+    // cierra la fase en curso (si hay) y abre una nueva con el nombre dado;
+    // sin huecos libres no hace nada y la fase abierta sigue acumulando tiempo
+    public void phase(String name) {
+        if (finished || phaseCount + (phaseOpen ? 1 : 0) >= phaseNames.length) return;
+        long now = System.nanoTime();
+        closePhase(now);
+        phaseNames[phaseCount] = name;
+        if (phaseEvents != null) phaseEvents[phaseCount].begin();
+        phaseStart = now;
+        phaseOpen = true;
+    }
+
+    // cierra la última fase, calcula totales y publica en JFR y en el sink configurado;
+    // las llamadas posteriores no hacen nada
+    public void finish() {
+        if (finished) return;
+        finished = true;
+        long now = System.nanoTime();
+        closePhase(now);
+        long totalNanos = now - startNanos;
+        long endBytes = threadAllocatedBytes();
+        long allocatedBytes = (startBytes < 0 || endBytes < 0) ? -1 : endBytes - startBytes;
+
+        commitEvent(allocatedBytes);
+        Metrics.publish(new SolverStats(solver, counters, phaseNames, phaseNanos, phaseCount,
+                totalNanos, allocatedBytes));
+    }
+
+    private void closePhase(long now) {
+        if (!phaseOpen) return;
+        phaseNanos[phaseCount] = now - phaseStart;
+        if (phaseEvents != null) {
+            SolverPhaseEvent phaseEvent = phaseEvents[phaseCount];
+            phaseEvent.end();
+            if (phaseEvent.shouldCommit()) {
+                phaseEvent.solver = solver;
+                phaseEvent.phase = phaseNames[phaseCount];
+                phaseEvent.commit();
+            }
+        }
+        phaseCount++;
+        phaseOpen = false;
+    }
+
+    private void commitEvent(long allocatedBytes) {
+        if (event == null) return;
+        event.end();
+        if (event.shouldCommit()) {
+            event.solver = solver;
+            event.allocatedBytes = allocatedBytes;
+            event.dpCells = counters[Counter.DP_CELLS.ordinal()];
+            event.pqPushes = counters[Counter.PQ_PUSHES.ordinal()];
+            event.pqPolls = counters[Counter.PQ_POLLS.ordinal()];
+            event.pqStaleSkips = counters[Counter.PQ_STALE_SKIPS.ordinal()];
+            event.ufFinds = counters[Counter.UF_FINDS.ordinal()];
+            event.ufPathLength = counters[Counter.UF_PATH_LENGTH.ordinal()];
+            event.mergeComparisons = counters[Counter.MERGE_COMPARISONS.ordinal()];
+            event.commit();
+        }
+    }
+
+    private static long threadAllocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean sun && sun.isThreadAllocatedMemoryEnabled()) {
+            return sun.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+}
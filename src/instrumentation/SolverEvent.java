@@ -0,0 +1,41 @@
+package instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// evento JFR con el resumen de una llamada completa (la duración la da el propio evento)
+@Name("programming_strategies.Solver")
+@Label("Solver")
+@Category("Programming Strategies")
+class SolverEvent extends jdk.jfr.Event {
+
+    @Label("Solver")
+    String solver;
+
+    @Label("Allocated Bytes")
+    @DataAmount
+    long allocatedBytes;
+
+    @Label("DP Cells")
+    long dpCells;
+
+    @Label("PQ Pushes")
+    long pqPushes;
+
+    @Label("PQ Polls")
+    long pqPolls;
+
+    @Label("PQ Stale Skips")
+    long pqStaleSkips;
+
+    @Label("Union-Find Finds")
+    long ufFinds;
+
+    @Label("Union-Find Path Length")
+    long ufPathLength;
+
+    @Label("Merge Comparisons")
+    long mergeComparisons;
+}
@@ -0,0 +1,18 @@
+package instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// evento JFR por cada fase de una llamada (ordenamiento, llenado de tabla, etc.); la duración la da el propio evento
+@Name("programming_strategies.SolverPhase")
+@Label("Solver Phase")
+@Category("Programming Strategies")
+class SolverPhaseEvent extends jdk.jfr.Event {
+
+    @Label("Solver")
+    String solver;
+
+    @Label("Phase")
+    String phase;
+}
@@ -0,0 +1,74 @@
+package instrumentation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Copia de solo lectura de las métricas de una llamada, ya cerrada. Es lo que recibe
+ * el {@link MetricsSink}; modificarla no afecta al recorder ni a los eventos JFR.
+ */
+public final class SolverStats {
+
+    private final String solver;
+    private final long[] counters;
+    private final Map<String, Long> phases;
+    private final long totalNanos;
+    private final long allocatedBytes;
+
+    SolverStats(String solver, long[] counters, String[] phaseNames, long[] phaseNanos, int phaseCount,
+                long totalNanos, long allocatedBytes) {
+        this.solver = solver;
+        this.counters = Arrays.copyOf(counters, counters.length);
+        Map<String, Long> p = new LinkedHashMap<>();
+        for (int i = 0; i < phaseCount; i++) p.merge(phaseNames[i], phaseNanos[i], Long::sum);
+        this.phases = Collections.unmodifiableMap(p);
+        this.totalNanos = totalNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public String solver() {
+        return solver;
+    }
+
+    public long count(Counter counter) {
+        return counters[counter.ordinal()];
+    }
+
+    // nanosegundos por fase, en el orden en que se ejecutaron
+    public Map<String, Long> phases() {
+        return phases;
+    }
+
+    public long totalNanos() {
+        return totalNanos;
+    }
+
+    // -1 si la JVM no permite medir la memoria asignada por hilo
+    public long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    // verificación para los main de ejemplo: lanza IllegalStateException si el contador no vale expected
+    public SolverStats expect(Counter counter, long expected) {
+        long actual = count(counter);
+        if (actual != expected) {
+            throw new IllegalStateException(solver + ": " + counter + " = " + actual + ", se esperaba " + expected);
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(solver).append(": total=").append(totalNanos).append("ns");
+        sb.append(", allocated=").append(allocatedBytes).append("B");
+        for (Counter c : Counter.values()) {
+            if (counters[c.ordinal()] != 0) sb.append(", ").append(c).append('=').append(counters[c.ordinal()]);
+        }
+        for (Map.Entry<String, Long> e : phases.entrySet()) {
+            sb.append(", ").append(e.getKey()).append('=').append(e.getValue()).append("ns");
+        }
+        return sb.toString();
+    }
+}
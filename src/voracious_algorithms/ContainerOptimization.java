@@ -1,5 +1,8 @@
 package voracious_algorithms;
 
+import instrumentation.Metrics;
+import instrumentation.Recorder;
+
 import java.util.*;
 
 public class ContainerOptimization {
@@ -22,58 +25,67 @@ public class ContainerOptimization {
     // COMPLEJIDAD TEMPORAL: O(n log n) - por el ordenamiento
     // COMPLEJIDAD ESPACIAL: O(n) - para almacenar los items
     public static Result runHeuristic(int heuristic, List<Item> itemsInput, double capacity) {
-        // Copiar items para no modificar la lista original - O(n)
-        List<Item> items = new ArrayList<>();
-        for (Item it : itemsInput) {
-            items.add(new Item(it.id, it.value, it.weight, it.qty));
-        }
-
-        // Calcular criterio - O(n)
-        for (Item it : items) {
-            if (heuristic == 1) it.criterion = it.value;
-            else if (heuristic == 2) it.criterion = 1.0 / it.weight;
-            else it.criterion = it.value / it.weight;
-        }
-
-        // Ordenar decreciente por criterio - O(n log n)
-        items.sort((a, b) -> Double.compare(b.criterion, a.criterion));
-
-        double remaining = capacity;
-        double totalValue = 0.0;
-        double totalWeight = 0.0;
-        List<Selection> selection = new ArrayList<>();
+        Recorder rec = Metrics.start("runHeuristic", 4);
+        try {
+            if (rec != null) rec.phase("copy");
+            // Copiar items para no modificar la lista original - O(n)
+            List<Item> items = new ArrayList<>();
+            for (Item it : itemsInput) {
+                items.add(new Item(it.id, it.value, it.weight, it.qty));
+            }
 
-        // Proceso de llenado - O(n)
-        for (Item it : items) {
-            if (remaining <= 1e-12) {
-                selection.add(new Selection(it.id, 0, 0, 0));
-                continue;
+            // Calcular criterio - O(n)
+            if (rec != null) rec.phase("criterion");
+            for (Item it : items) {
+                if (heuristic == 1) it.criterion = it.value;
+                else if (heuristic == 2) it.criterion = 1.0 / it.weight;
+                else it.criterion = it.value / it.weight;
             }
 
-            double maxFullWeight = it.weight * it.qty;
-            if (remaining >= maxFullWeight - 1e-12) {
-                // Tomar todas las unidades
-                double takeUnits = it.qty;
-                double takenWeight = maxFullWeight;
-                double takenValue = it.value * takeUnits;
-                remaining -= takenWeight;
-                totalValue += takenValue;
-                totalWeight += takenWeight;
-                selection.add(new Selection(it.id, takeUnits, takenWeight, takenValue));
-            } else {
-                // Tomar fracción
-                double unitsCanTake = remaining / it.weight;
-                if (unitsCanTake > it.qty) unitsCanTake = it.qty;
-                double takenWeight = unitsCanTake * it.weight;
-                double takenValue = unitsCanTake * it.value;
-                remaining -= takenWeight;
-                totalValue += takenValue;
-                totalWeight += takenWeight;
-                selection.add(new Selection(it.id, unitsCanTake, takenWeight, takenValue));
+            // Ordenar decreciente por criterio - O(n log n)
+            if (rec != null) rec.phase("sort");
+            items.sort((a, b) -> Double.compare(b.criterion, a.criterion));
+
+            double remaining = capacity;
+            double totalValue = 0.0;
+            double totalWeight = 0.0;
+            List<Selection> selection = new ArrayList<>();
+
+            // Proceso de llenado - O(n)
+            if (rec != null) rec.phase("fill");
+            for (Item it : items) {
+                if (remaining <= 1e-12) {
+                    selection.add(new Selection(it.id, 0, 0, 0));
+                    continue;
+                }
+
+                double maxFullWeight = it.weight * it.qty;
+                if (remaining >= maxFullWeight - 1e-12) {
+                    // Tomar todas las unidades
+                    double takeUnits = it.qty;
+                    double takenWeight = maxFullWeight;
+                    double takenValue = it.value * takeUnits;
+                    remaining -= takenWeight;
+                    totalValue += takenValue;
+                    totalWeight += takenWeight;
+                    selection.add(new Selection(it.id, takeUnits, takenWeight, takenValue));
+                } else {
+                    // Tomar fracción
+                    double unitsCanTake = remaining / it.weight;
+                    if (unitsCanTake > it.qty) unitsCanTake = it.qty;
+                    double takenWeight = unitsCanTake * it.weight;
+                    double takenValue = unitsCanTake * it.value;
+                    remaining -= takenWeight;
+                    totalValue += takenValue;
+                    totalWeight += takenWeight;
+                    selection.add(new Selection(it.id, unitsCanTake, takenWeight, takenValue));
+                }
             }
-        }
 
-        return new Result(totalValue, totalWeight, selection);
+            return new Result(totalValue, totalWeight, selection);
+        } finally {
+            if (rec != null) rec.finish();
+        }
     }
 
     static class Selection {
@@ -1,5 +1,10 @@
 package voracious_algorithms;
 
+import instrumentation.Counter;
+import instrumentation.Metrics;
+import instrumentation.Recorder;
+import instrumentation.SolverStats;
+
 import java.util.*;
 
 public class MSTAlgorithms {
@@ -21,8 +26,10 @@ public class MSTAlgorithms {
 
     static class UnionFind {
         int[] parent, rank;
+        Recorder rec; // null si la instrumentación está apagada
 
-        UnionFind(int n) {
+        UnionFind(int n, Recorder rec) {
+            this.rec = rec;
             parent = new int[n + 1];
             rank = new int[n + 1];
             for (int i = 1; i <= n; i++) {
@@ -33,12 +40,14 @@ public class MSTAlgorithms {
 
         int find(int x) {
             if (parent[x] != x) {
+                if (rec != null) rec.increment(Counter.UF_PATH_LENGTH);
                 parent[x] = find(parent[x]);
             }
             return parent[x];
         }
 
         boolean union(int a, int b) {
+            if (rec != null) rec.add(Counter.UF_FINDS, 2);
             int ra = find(a);
             int rb = find(b);
             if (ra == rb) return false;
@@ -56,20 +65,27 @@ public class MSTAlgorithms {
     }
 
     public static List<Edge> kruskal(int n, List<Edge> edges) {
-        List<Edge> sortedEdges = new ArrayList<>(edges);
-        Collections.sort(sortedEdges);
-
-        UnionFind uf = new UnionFind(n);
-        List<Edge> mst = new ArrayList<>();
-
-        for (Edge edge : sortedEdges) {
-            if (uf.union(edge.u, edge.v)) {
-                mst.add(edge);
-                if (mst.size() == n - 1) break;
+        Recorder rec = Metrics.start("kruskal", 2);
+        try {
+            if (rec != null) rec.phase("sort");
+            List<Edge> sortedEdges = new ArrayList<>(edges);
+            Collections.sort(sortedEdges);
+
+            if (rec != null) rec.phase("union");
+            UnionFind uf = new UnionFind(n, rec);
+            List<Edge> mst = new ArrayList<>();
+
+            for (Edge edge : sortedEdges) {
+                if (uf.union(edge.u, edge.v)) {
+                    mst.add(edge);
+                    if (mst.size() == n - 1) break;
+                }
             }
-        }
 
-        return mst;
+            return mst;
+        } finally {
+            if (rec != null) rec.finish();
+        }
     }
 
     static class PrimEdge implements Comparable<PrimEdge> {
@@ -87,31 +103,44 @@ public class MSTAlgorithms {
     }
 
     public static List<Edge> prim(int n, List<List<Edge>> adj) {
-        boolean[] visited = new boolean[n + 1];
-        PriorityQueue<PrimEdge> pq = new PriorityQueue<>();
-        List<Edge> mst = new ArrayList<>();
-
-        visited[1] = true;
-        for (Edge edge : adj.get(1)) {
-            pq.add(new PrimEdge(1, edge.v, edge.w));
-        }
+        Recorder rec = Metrics.start("prim", 1);
+        try {
+            if (rec != null) rec.phase("grow");
+            boolean[] visited = new boolean[n + 1];
+            PriorityQueue<PrimEdge> pq = new PriorityQueue<>();
+            List<Edge> mst = new ArrayList<>();
+
+            visited[1] = true;
+            for (Edge edge : adj.get(1)) {
+                pq.add(new PrimEdge(1, edge.v, edge.w));
+                if (rec != null) rec.increment(Counter.PQ_PUSHES);
+            }
 
-        while (!pq.isEmpty() && mst.size() < n - 1) {
-            PrimEdge minEdge = pq.poll();
+            while (!pq.isEmpty() && mst.size() < n - 1) {
+                PrimEdge minEdge = pq.poll();
+                if (rec != null) rec.increment(Counter.PQ_POLLS);
 
-            if (visited[minEdge.v]) continue;
+                if (visited[minEdge.v]) {
+                    // arista obsoleta: el vértice ya entró al árbol por otra arista más barata
+                    if (rec != null) rec.increment(Counter.PQ_STALE_SKIPS);
+                    continue;
+                }
 
-            visited[minEdge.v] = true;
-            mst.add(new Edge(minEdge.u, minEdge.v, minEdge.w));
+                visited[minEdge.v] = true;
+                mst.add(new Edge(minEdge.u, minEdge.v, minEdge.w));
 
-            for (Edge edge : adj.get(minEdge.v)) {
-                if (!visited[edge.v]) {
-                    pq.add(new PrimEdge(minEdge.v, edge.v, edge.w));
+                for (Edge edge : adj.get(minEdge.v)) {
+                    if (!visited[edge.v]) {
+                        pq.add(new PrimEdge(minEdge.v, edge.v, edge.w));
+                        if (rec != null) rec.increment(Counter.PQ_PUSHES);
+                    }
                 }
             }
-        }
 
-        return mst;
+            return mst;
+        } finally {
+            if (rec != null) rec.finish();
+        }
     }
 
     public static int calculateTotalCost(List<Edge> edges) {
@@ -174,5 +203,18 @@ public class MSTAlgorithms {
                     edge.u, edge.v, edge.w);
         }
         System.out.printf("Costo total Prim: $%,d COP%n", primCost);
+
+        // verificación de métricas: Kruskal hace 7 uniones (2 finds cada una) antes de tener 6 aristas,
+        // y compresión de caminos recorre 6 saltos en total
+        System.out.println();
+        SolverStats kruskalStats = Metrics.capture(() -> kruskal(n, edges));
+        kruskalStats.expect(Counter.UF_FINDS, 14).expect(Counter.UF_PATH_LENGTH, 6);
+        System.out.println("Métricas: " + kruskalStats);
+
+        // Prim inserta las 12 aristas dirigidas hacia vértices no visitados y extrae 7:
+        // 6 entran al árbol y 1 se descarta porque su vértice ya estaba visitado
+        SolverStats primStats = Metrics.capture(() -> prim(n, adj));
+        primStats.expect(Counter.PQ_PUSHES, 12).expect(Counter.PQ_POLLS, 7).expect(Counter.PQ_STALE_SKIPS, 1);
+        System.out.println("Métricas: " + primStats);
     }
 }
\ No newline at end of file